@@ -3,11 +3,17 @@ package com.example.app.control;
 import com.example.app.model.Event;
 import com.example.app.model.KeyStatus;
 import com.example.app.model.ResumeCommand;
+import com.example.app.service.DashboardSnapshotService;
+import com.example.app.service.HotKeyService;
 import com.example.app.service.OutputTopicConsumer;
+import com.example.app.service.StatusTransitionService;
 import com.example.app.service.StoreQueryService;
 import com.example.app.topology.PauseConfig;
+import com.example.app.topology.StreamThreadScaler;
 import com.example.app.topology.StreamsOrchestrator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
@@ -25,16 +31,28 @@ public class PauseResumeController {
     private final StreamsOrchestrator orchestrator;
     private final OutputTopicConsumer topicConsumer;
     private final StoreQueryService storeQueryService;
+    private final StatusTransitionService statusTransitions;
+    private final HotKeyService hotKeyService;
+    private final StreamThreadScaler threadScaler;
+    private final DashboardSnapshotService dashboardService;
 
     @Autowired
     public PauseResumeController(KafkaTemplate<String, Object> kafkaTemplate,
             StreamsOrchestrator orchestrator,
             OutputTopicConsumer topicConsumer,
-            StoreQueryService storeQueryService) {
+            StoreQueryService storeQueryService,
+            StatusTransitionService statusTransitions,
+            HotKeyService hotKeyService,
+            StreamThreadScaler threadScaler,
+            DashboardSnapshotService dashboardService) {
         this.kafkaTemplate = kafkaTemplate;
         this.orchestrator = orchestrator;
         this.topicConsumer = topicConsumer;
         this.storeQueryService = storeQueryService;
+        this.statusTransitions = statusTransitions;
+        this.hotKeyService = hotKeyService;
+        this.threadScaler = threadScaler;
+        this.dashboardService = dashboardService;
     }
 
     // Pause
@@ -43,8 +61,11 @@ public class PauseResumeController {
         PauseConfig config = orchestrator.getConfig(topicId);
         if (config == null)
             return ResponseEntity.notFound().build();
+        // Already paused: nothing to write
+        if (!statusTransitions.beginTransition(config, key, KeyStatus.PAUSED))
+            return ResponseEntity.ok().build();
         // Use flow-specific status topic
-        kafkaTemplate.send(config.statusTopic(), key, KeyStatus.PAUSED);
+        sendStatus(config, key, KeyStatus.PAUSED);
         return ResponseEntity.accepted().build();
     }
 
@@ -55,16 +76,30 @@ public class PauseResumeController {
         if (config == null)
             return ResponseEntity.notFound().build();
 
-        // 1. Set status to ACTIVE
+        // 1. Set status to ACTIVE, unless the key is already active
         // Use flow-specific status topic
-        kafkaTemplate.send(config.statusTopic(), key, KeyStatus.ACTIVE);
+        boolean transitioned = statusTransitions.beginTransition(config, key, KeyStatus.ACTIVE);
+        if (transitioned)
+            sendStatus(config, key, KeyStatus.ACTIVE);
 
         // 2. Trigger buffer drain via resume topic
         // The resume topic is monitored by ResumeTriggerProcessor which triggers the
-        // drain logic
-        kafkaTemplate.send(config.triggerTopic(), key, ResumeCommand.resume());
+        // drain logic. Repeated resumes for an idle or already draining key are
+        // coalesced.
+        boolean triggered = statusTransitions.shouldTriggerResume(config, key, transitioned);
+        if (triggered)
+            kafkaTemplate.send(config.triggerTopic(), key, ResumeCommand.resume());
 
-        return ResponseEntity.accepted().build();
+        return transitioned || triggered ? ResponseEntity.accepted().build() : ResponseEntity.ok().build();
+    }
+
+    private void sendStatus(PauseConfig config, String key, KeyStatus status) {
+        kafkaTemplate.send(config.statusTopic(), key, status).whenComplete((result, ex) -> {
+            if (ex != null) {
+                // Don't let a failed write suppress the client's retry
+                statusTransitions.invalidate(config, key);
+            }
+        });
     }
 
     // Send Test Event
@@ -86,6 +121,18 @@ public class PauseResumeController {
 
     // --- Monitoring Endpoints ---
 
+    // Shared snapshot of every flow. Spring answers If-None-Match with a 304 based
+    // on the ETag, and no-cache makes browsers revalidate instead of re-downloading.
+    @GetMapping("/dashboard")
+    public ResponseEntity<byte[]> getDashboard() {
+        DashboardSnapshotService.Snapshot snapshot = dashboardService.getSnapshot();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag())
+                .body(snapshot.body());
+    }
+
     @GetMapping("/{topicId}/input-messages")
     public ResponseEntity<List<Map<String, Object>>> getInputMessages(
             @PathVariable String topicId,
@@ -129,4 +176,21 @@ public class PauseResumeController {
         result.put("status", status);
         return ResponseEntity.ok(result);
     }
+
+    // Heavy hitters across the processor tasks hosted on this instance
+    @GetMapping("/{topicId}/hot-keys")
+    public ResponseEntity<Map<String, Object>> getHotKeys(
+            @PathVariable String topicId,
+            @RequestParam(defaultValue = "10") int limit) {
+        PauseConfig config = orchestrator.getConfig(topicId);
+        if (config == null)
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(hotKeyService.getHotKeys(config.topicId(), config.bufferStoreName(), limit));
+    }
+
+    // Current stream thread count, scaling signals and the last scaling decision
+    @GetMapping("/scaling")
+    public ResponseEntity<Map<String, Object>> getScalingStatus() {
+        return ResponseEntity.ok(threadScaler.getStatus());
+    }
 }
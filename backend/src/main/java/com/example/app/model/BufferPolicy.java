@@ -0,0 +1,70 @@
+package com.example.app.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controls how events for a paused key are coalesced when they are written to
+ * the buffer store. The policy is applied at buffer time, so the stored list
+ * (and the work done to drain it on resume) grows with distinct state rather
+ * than with raw event volume.
+ */
+public enum BufferPolicy {
+    /** Keep every event (the original behaviour). */
+    KEEP_ALL,
+    /** Keep only the most recent event for the key. */
+    LATEST_ONLY,
+    /** Keep the most recent {@code maxEvents} events for the key. */
+    LAST_N,
+    /**
+     * Drop an already buffered event that has the same {@link Event#id()} and
+     * append the new one, so replay order still follows arrival order.
+     */
+    MERGE_BY_ID;
+
+    /**
+     * Returns the buffer contents after adding {@code event}.
+     *
+     * @param buffered  The currently buffered events, may be null
+     * @param event     The incoming event
+     * @param maxEvents Upper bound used by {@link #LAST_N}
+     * @return The list to write back to the buffer store
+     */
+    public List<Event> apply(List<Event> buffered, Event event, int maxEvents) {
+        List<Event> events = buffered != null ? buffered : new ArrayList<>();
+        switch (this) {
+            case LATEST_ONLY -> {
+                events.clear();
+                events.add(event);
+            }
+            case LAST_N -> {
+                events.add(event);
+                int overflow = events.size() - maxEvents;
+                if (overflow > 0) {
+                    events.subList(0, overflow).clear();
+                }
+            }
+            case MERGE_BY_ID -> {
+                int existing = indexOfId(events, event.id());
+                if (existing >= 0) {
+                    events.remove(existing);
+                }
+                events.add(event);
+            }
+            default -> events.add(event);
+        }
+        return events;
+    }
+
+    private static int indexOfId(List<Event> events, String id) {
+        if (id == null) {
+            return -1;
+        }
+        for (int i = 0; i < events.size(); i++) {
+            if (id.equals(events.get(i).id())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
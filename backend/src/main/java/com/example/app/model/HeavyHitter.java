@@ -0,0 +1,8 @@
+package com.example.app.model;
+
+/**
+ * A key reported by a heavy-hitter sketch. {@code count} may overestimate the
+ * true frequency by at most {@code error}.
+ */
+public record HeavyHitter(String key, long count, long error) {
+}
@@ -0,0 +1,30 @@
+package com.example.app.processor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running count of events replayed from the buffer store, per flow. Fed by
+ * {@link PauseAwareProcessor#drainIfNeeded} and {@link ResumeTriggerProcessor};
+ * sampled by the thread scaler to measure drain work.
+ */
+@Component
+public class DrainMetrics {
+
+    private final Map<String, LongAdder> drained = new ConcurrentHashMap<>();
+
+    public void record(String topicId, int events) {
+        drained.computeIfAbsent(topicId, id -> new LongAdder()).add(events);
+    }
+
+    public long totalDrained() {
+        long total = 0;
+        for (LongAdder adder : drained.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.app.processor;
+
+import com.example.app.model.HeavyHitter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fixed-memory Space-Saving sketch for finding the most frequent keys seen by a
+ * processor task.
+ *
+ * Counters live in preallocated parallel arrays and {@link #offer(String)} does
+ * a single linear pass (comparing cached String hashes first), so the hot path
+ * never allocates. When all slots are taken an unseen key evicts the smallest
+ * counter and inherits its count as the error bound. Any key with a true
+ * frequency above {@code total / capacity} is guaranteed to be kept.
+ *
+ * Writes come from the owning stream thread and reads from REST calls, so both
+ * sides synchronize on the sketch; the lock is uncontended in the common case.
+ */
+public class HeavyHitterSketch {
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final long[] counts;
+    private final long[] errors;
+    private int size;
+    private long total;
+
+    public HeavyHitterSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+    }
+
+    public synchronized void offer(String key) {
+        total++;
+        if (key == null) {
+            return;
+        }
+        int hash = key.hashCode();
+        int minSlot = 0;
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == hash && key.equals(keys[i])) {
+                counts[i]++;
+                return;
+            }
+            if (counts[i] < counts[minSlot]) {
+                minSlot = i;
+            }
+        }
+        if (size < keys.length) {
+            keys[size] = key;
+            hashes[size] = hash;
+            counts[size] = 1;
+            errors[size] = 0;
+            size++;
+            return;
+        }
+        // Evict the smallest counter; the newcomer may have been seen up to that many times
+        keys[minSlot] = key;
+        hashes[minSlot] = hash;
+        errors[minSlot] = counts[minSlot];
+        counts[minSlot]++;
+    }
+
+    public synchronized long total() {
+        return total;
+    }
+
+    /**
+     * Returns the tracked keys ordered by descending count.
+     */
+    public synchronized List<HeavyHitter> snapshot() {
+        List<HeavyHitter> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new HeavyHitter(keys[i], counts[i], errors[i]));
+        }
+        result.sort(Comparator.comparingLong(HeavyHitter::count).reversed());
+        return result;
+    }
+}
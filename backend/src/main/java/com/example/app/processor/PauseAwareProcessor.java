@@ -1,14 +1,15 @@
 package com.example.app.processor;
 
+import com.example.app.model.BufferPolicy;
 import com.example.app.model.Event;
 import com.example.app.model.KeyStatus;
+import com.example.app.service.HotKeyService;
 import org.apache.kafka.streams.processor.api.Processor;
 import org.apache.kafka.streams.processor.api.ProcessorContext;
 import org.apache.kafka.streams.processor.api.Record;
 import org.apache.kafka.streams.state.KeyValueStore;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class PauseAwareProcessor implements Processor<String, Event, String, Event> {
@@ -18,10 +19,24 @@ public class PauseAwareProcessor implements Processor<String, Event, String, Eve
     private ReadOnlyKeyValueStore<String, Object> statusStore;
     private final String bufferStoreName;
     private final String statusStoreName;
+    private final BufferPolicy bufferPolicy;
+    private final int bufferMaxEvents;
+    private final String topicId;
+    private final HotKeyService hotKeyService;
+    private final DrainMetrics drainMetrics;
+    private String taskId;
+    private HotKeyService.TaskSketches hotKeys;
 
-    public PauseAwareProcessor(String bufferStoreName, String statusStoreName) {
+    public PauseAwareProcessor(String bufferStoreName, String statusStoreName,
+            BufferPolicy bufferPolicy, int bufferMaxEvents,
+            String topicId, HotKeyService hotKeyService, DrainMetrics drainMetrics) {
         this.bufferStoreName = bufferStoreName;
         this.statusStoreName = statusStoreName;
+        this.bufferPolicy = bufferPolicy;
+        this.bufferMaxEvents = bufferMaxEvents;
+        this.topicId = topicId;
+        this.hotKeyService = hotKeyService;
+        this.drainMetrics = drainMetrics;
     }
 
     @Override
@@ -30,6 +45,9 @@ public class PauseAwareProcessor implements Processor<String, Event, String, Eve
         this.bufferStore = context.getStateStore(bufferStoreName);
         // Important: GlobalKTable stores are read-only
         this.statusStore = context.getStateStore(statusStoreName);
+        // One pair of fixed-size sketches per task, merged on demand by HotKeyService
+        this.taskId = context.taskId().toString();
+        this.hotKeys = hotKeyService.register(topicId, taskId);
     }
 
     @Override
@@ -51,22 +69,22 @@ public class PauseAwareProcessor implements Processor<String, Event, String, Eve
 
         if (status == KeyStatus.ACTIVE) {
             drainIfNeeded(key);
+            hotKeys.processed().offer(key);
             System.out.println(
                     "[PROCESSED] Key=" + key + ", EventId=" + event.id() + ", Data=" + event.data() + " (immediate)");
             context.forward(record);
         } else {
             System.out.println(
                     "[BUFFERED] Key=" + key + ", EventId=" + event.id() + ", Data=" + event.data() + " (paused)");
+            hotKeys.buffered().offer(key);
             buffer(key, event);
         }
     }
 
     private void buffer(String key, Event event) {
-        List<Event> events = bufferStore.get(key);
-        if (events == null) {
-            events = new ArrayList<>();
-        }
-        events.add(event);
+        // Coalesce according to the flow's policy so the store only holds the state we
+        // actually need to replay on resume
+        List<Event> events = bufferPolicy.apply(bufferStore.get(key), event, bufferMaxEvents);
         bufferStore.put(key, events);
     }
 
@@ -74,9 +92,11 @@ public class PauseAwareProcessor implements Processor<String, Event, String, Eve
         List<Event> events = bufferStore.get(key);
         if (events != null && !events.isEmpty()) {
             System.out.println("[DRAINING] Key=" + key + ", BufferedEvents=" + events.size());
+            drainMetrics.record(topicId, events.size());
             for (Event e : events) {
                 System.out.println(
                         "[PROCESSED] Key=" + key + ", EventId=" + e.id() + ", Data=" + e.data() + " (from buffer)");
+                hotKeys.processed().offer(key);
                 // We forward with current timestamp or original?
                 // Original is in record, but here we construct new record.
                 context.forward(new Record<>(key, e, System.currentTimeMillis()));
@@ -87,5 +107,8 @@ public class PauseAwareProcessor implements Processor<String, Event, String, Eve
 
     @Override
     public void close() {
+        if (hotKeys != null) {
+            hotKeyService.unregister(topicId, taskId, hotKeys);
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.example.app.processor;
 
 import com.example.app.model.Event;
 import com.example.app.model.ResumeCommand;
+import com.example.app.service.HotKeyService;
 import org.apache.kafka.streams.processor.api.Processor;
 import org.apache.kafka.streams.processor.api.ProcessorContext;
 import org.apache.kafka.streams.processor.api.Record;
@@ -14,15 +15,27 @@ public class ResumeTriggerProcessor implements Processor<String, ResumeCommand,
     private ProcessorContext<String, Event> context;
     private KeyValueStore<String, List<Event>> bufferStore;
     private final String bufferStoreName;
+    private final String topicId;
+    private final HotKeyService hotKeyService;
+    private final DrainMetrics drainMetrics;
+    private String taskId;
+    private HotKeyService.TaskSketches hotKeys;
 
-    public ResumeTriggerProcessor(String bufferStoreName) {
+    public ResumeTriggerProcessor(String bufferStoreName, String topicId, HotKeyService hotKeyService,
+            DrainMetrics drainMetrics) {
         this.bufferStoreName = bufferStoreName;
+        this.topicId = topicId;
+        this.hotKeyService = hotKeyService;
+        this.drainMetrics = drainMetrics;
     }
 
     @Override
     public void init(ProcessorContext<String, Event> context) {
         this.context = context;
         this.bufferStore = context.getStateStore(bufferStoreName);
+        // Shares the buffer store, and therefore the task and its sketches, with PauseAwareProcessor
+        this.taskId = context.taskId().toString();
+        this.hotKeys = hotKeyService.register(topicId, taskId);
     }
 
     @Override
@@ -34,8 +47,10 @@ public class ResumeTriggerProcessor implements Processor<String, ResumeCommand,
             List<Event> events = bufferStore.get(key);
             if (events != null && !events.isEmpty()) {
                 System.out.println("[RESUME-DRAIN] Key=" + key + ", BufferedEvents=" + events.size());
+                drainMetrics.record(topicId, events.size());
                 for (Event e : events) {
                     System.out.println("[PROCESSED] Key=" + key + ", EventId=" + e.id() + ", Data=" + e.data() + " (resume trigger)");
+                    hotKeys.processed().offer(key);
                     context.forward(new Record<>(key, e, System.currentTimeMillis()));
                 }
                 bufferStore.delete(key);
@@ -45,5 +60,8 @@ public class ResumeTriggerProcessor implements Processor<String, ResumeCommand,
 
     @Override
     public void close() {
+        if (hotKeys != null) {
+            hotKeyService.unregister(topicId, taskId, hotKeys);
+        }
     }
 }
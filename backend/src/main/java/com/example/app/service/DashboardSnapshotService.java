@@ -0,0 +1,187 @@
+package com.example.app.service;
+
+import com.example.app.topology.PauseConfig;
+import com.example.app.topology.StreamsOrchestrator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds one dashboard snapshot for all flows and shares it between every
+ * caller, so backend load stays constant regardless of how many operators
+ * have the dashboard open.
+ *
+ * While someone is polling, the snapshot is rebuilt on a fixed schedule every
+ * {@code refresh-ms}; once nobody has asked for {@code idle-after-ms} the
+ * schedule skips rebuilds. Freshness is judged from the snapshot itself: one
+ * whose build started more than {@code max-age-ms} before the request is never
+ * served (nor confirmed by a 304). Such callers wait for the rebuild already in
+ * progress, or run one. Throughput restarts after such a gap rather than
+ * averaging over it. The serialized JSON and its ETag are computed once per
+ * rebuild.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    @Autowired
+    private StreamsOrchestrator orchestrator;
+
+    @Autowired
+    private OutputTopicConsumer topicConsumer;
+
+    @Autowired
+    private StoreQueryService storeQueryService;
+
+    @Autowired
+    private HotKeyService hotKeyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.dashboard.max-age-ms:10000}")
+    private long maxAgeMs;
+
+    @Value("${app.dashboard.idle-after-ms:10000}")
+    private long idleAfterMs;
+
+    @Value("${app.dashboard.recent-limit:20}")
+    private int recentLimit;
+
+    @Value("${app.dashboard.max-keys:100}")
+    private int maxKeys;
+
+    private volatile Snapshot snapshot;
+    private volatile long lastRequestedAt;
+
+    // topicId -> {processed, buffered} totals from the previous build, for throughput
+    private final Map<String, long[]> previousTotals = new HashMap<>();
+    private long previousBuiltAt;
+
+    /**
+     * A serialized dashboard body and its strong ETag.
+     */
+    public record Snapshot(byte[] body, String etag, long builtAt, String contentHash) {
+    }
+
+    public Snapshot getSnapshot() {
+        long requestedAt = System.currentTimeMillis();
+        lastRequestedAt = requestedAt;
+
+        Snapshot current = snapshot;
+        if (current != null && requestedAt - current.builtAt() <= maxAgeMs) {
+            return current;
+        }
+        // Too old or missing: wait for a rebuild in progress (refresh() holds the same lock),
+        // and only build ourselves if nothing recent enough landed meanwhile
+        synchronized (this) {
+            if (snapshot == null || snapshot.builtAt() < requestedAt - maxAgeMs) {
+                refresh();
+            }
+            return snapshot;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.refresh-ms:2000}")
+    public void scheduledRefresh() {
+        if (System.currentTimeMillis() - lastRequestedAt > idleAfterMs) {
+            return;
+        }
+        refresh();
+    }
+
+    private synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        if (now - previousBuiltAt > maxAgeMs) {
+            // Don't average throughput over an idle gap
+            previousTotals.clear();
+        }
+        Map<String, Object> flows = new LinkedHashMap<>();
+        for (PauseConfig config : orchestrator.getTopicConfigs()) {
+            flows.put(config.topicId(), buildFlow(config, now));
+        }
+        previousBuiltAt = now;
+
+        try {
+            String contentHash = DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(flows));
+            Snapshot current = snapshot;
+            if (current != null && current.contentHash().equals(contentHash)) {
+                // Unchanged: keep the body and ETag so clients get 304s
+                snapshot = new Snapshot(current.body(), current.etag(), now, contentHash);
+                return;
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("generatedAt", now);
+            body.put("flows", flows);
+            snapshot = new Snapshot(objectMapper.writeValueAsBytes(body), "\"" + contentHash + "\"", now,
+                    contentHash);
+        } catch (JsonProcessingException e) {
+            System.err.println("Error serializing dashboard snapshot: " + e.getMessage());
+            if (snapshot == null) {
+                // Keep the shape the dashboard expects
+                snapshot = new Snapshot("{\"flows\":{}}".getBytes(StandardCharsets.UTF_8), "\"empty\"", now, "");
+            }
+        }
+    }
+
+    private Map<String, Object> buildFlow(PauseConfig config, long now) {
+        List<String> pausedKeys = storeQueryService.getPausedKeys(config.statusStoreName());
+        Map<String, Integer> depths = storeQueryService.getBufferDepths(config.bufferStoreName());
+
+        // Deepest buffers first, capped so the payload stays bounded
+        Map<String, Integer> topDepths = new LinkedHashMap<>();
+        depths.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxKeys)
+                .forEach(entry -> topDepths.put(entry.getKey(), entry.getValue()));
+
+        Map<String, Object> flow = new LinkedHashMap<>();
+        flow.put("inputMessages", recentMessages(config.mainTopic()));
+        flow.put("outputMessages", recentMessages(config.outputTopic()));
+        flow.put("pausedKeyCount", pausedKeys.size());
+        flow.put("pausedKeys", pausedKeys.stream().sorted(Comparator.naturalOrder()).limit(maxKeys).toList());
+        flow.put("bufferedKeyCount", depths.size());
+        flow.put("bufferedEventCount", depths.values().stream().mapToLong(Integer::longValue).sum());
+        flow.put("bufferDepths", topDepths);
+        flow.put("throughput", throughput(config.topicId(), now));
+        return flow;
+    }
+
+    private List<Map<String, Object>> recentMessages(String topic) {
+        List<Map<String, Object>> messages = topicConsumer.consumeRecentMessages(topic, recentLimit);
+        // consumedAt changes on every read and would defeat the ETag
+        messages.forEach(message -> message.remove("consumedAt"));
+        return messages;
+    }
+
+    private Map<String, Object> throughput(String topicId, long now) {
+        long[] totals = hotKeyService.getTotals(topicId);
+        long[] previous = previousTotals.put(topicId, totals);
+        double elapsedSec = (now - previousBuiltAt) / 1000.0;
+
+        Map<String, Object> rates = new LinkedHashMap<>();
+        rates.put("processedPerSec", rate(previous != null ? totals[0] - previous[0] : 0, elapsedSec));
+        rates.put("bufferedPerSec", rate(previous != null ? totals[1] - previous[1] : 0, elapsedSec));
+        return rates;
+    }
+
+    private static double rate(long delta, double elapsedSec) {
+        // Totals reset when tasks move, so clamp negative deltas
+        if (delta <= 0 || elapsedSec <= 0) {
+            return 0.0;
+        }
+        // One decimal keeps the ETag stable under tiny fluctuations
+        return Math.round(delta / elapsedSec * 10) / 10.0;
+    }
+}
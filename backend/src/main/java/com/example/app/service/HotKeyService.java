@@ -0,0 +1,143 @@
+package com.example.app.service;
+
+import com.example.app.model.HeavyHitter;
+import com.example.app.processor.HeavyHitterSketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the per-task heavy-hitter sketches kept by
+ * {@link com.example.app.processor.PauseAwareProcessor} and
+ * {@link com.example.app.processor.ResumeTriggerProcessor}. Both processors
+ * share the buffer store and so run in the same task; whichever initializes
+ * first creates the task's sketches, and they are dropped on close. Queries
+ * merge whatever tasks are currently hosted on this instance.
+ */
+@Service
+public class HotKeyService {
+
+    @Autowired
+    private StoreQueryService storeQueryService;
+
+    @Value("${app.hot-keys.capacity:64}")
+    private int capacity;
+
+    // topicId -> taskId -> sketches
+    private final Map<String, Map<String, TaskSketches>> flows = new ConcurrentHashMap<>();
+
+    /**
+     * Sketches for one processor task: keys forwarded downstream (immediately or
+     * replayed from the buffer) and keys of events arriving while paused. The
+     * buffered sketch counts arrivals, so it never shrinks on drain and ignores
+     * the flow's buffer policy.
+     */
+    public record TaskSketches(HeavyHitterSketch processed, HeavyHitterSketch buffered) {
+    }
+
+    public TaskSketches register(String topicId, String taskId) {
+        return flows.computeIfAbsent(topicId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(taskId, id -> new TaskSketches(new HeavyHitterSketch(capacity),
+                        new HeavyHitterSketch(capacity)));
+    }
+
+    public void unregister(String topicId, String taskId, TaskSketches sketches) {
+        Map<String, TaskSketches> tasks = flows.get(topicId);
+        if (tasks != null) {
+            // Only remove our own entry in case the task was already re-initialized
+            tasks.remove(taskId, sketches);
+        }
+    }
+
+    /**
+     * Merges the local task sketches for a flow.
+     *
+     * Keys are partitioned across tasks, so merging is a per-key sum of counts and
+     * error bounds. Per-task totals are included so partition skew is visible.
+     * Keys with the most buffered arrivals are reported with their current
+     * buffer depth, which is what actually waits to be drained.
+     *
+     * @param topicId         The flow to report on
+     * @param bufferStoreName The flow's buffer store, for current depths
+     * @param limit           Maximum number of keys per list
+     * @return processed and buffered-arrival heavy hitters plus per-task totals
+     */
+    public Map<String, Object> getHotKeys(String topicId, String bufferStoreName, int limit) {
+        Map<String, TaskSketches> tasks = flows.getOrDefault(topicId, Map.of());
+        List<HeavyHitterSketch> processed = new ArrayList<>();
+        List<HeavyHitterSketch> buffered = new ArrayList<>();
+        List<Map<String, Object>> taskTotals = new ArrayList<>();
+
+        tasks.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    TaskSketches sketches = entry.getValue();
+                    processed.add(sketches.processed());
+                    buffered.add(sketches.buffered());
+                    Map<String, Object> totals = new LinkedHashMap<>();
+                    totals.put("taskId", entry.getKey());
+                    totals.put("processed", sketches.processed().total());
+                    totals.put("bufferedArrivals", sketches.buffered().total());
+                    taskTotals.add(totals);
+                });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("topicId", topicId);
+        result.put("processed", merge(processed, limit));
+        result.put("bufferedArrivals", withDepths(merge(buffered, limit), bufferStoreName));
+        result.put("tasks", taskTotals);
+        return result;
+    }
+
+    /**
+     * Total processed and buffered event counts for a flow across local tasks.
+     * Counts restart when a task is reassigned.
+     *
+     * @return {processed, buffered}
+     */
+    public long[] getTotals(String topicId) {
+        long processed = 0;
+        long buffered = 0;
+        for (TaskSketches sketches : flows.getOrDefault(topicId, Map.of()).values()) {
+            processed += sketches.processed().total();
+            buffered += sketches.buffered().total();
+        }
+        return new long[] { processed, buffered };
+    }
+
+    private List<Map<String, Object>> withDepths(List<HeavyHitter> hitters, String bufferStoreName) {
+        List<Map<String, Object>> result = new ArrayList<>(hitters.size());
+        for (HeavyHitter hitter : hitters) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("key", hitter.key());
+            entry.put("count", hitter.count());
+            entry.put("error", hitter.error());
+            entry.put("currentDepth", storeQueryService.getBufferedEvents(bufferStoreName, hitter.key()).size());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    // Package-private for tests
+    static List<HeavyHitter> merge(List<HeavyHitterSketch> sketches, int limit) {
+        Map<String, HeavyHitter> merged = new HashMap<>();
+        for (HeavyHitterSketch sketch : sketches) {
+            for (HeavyHitter hitter : sketch.snapshot()) {
+                merged.merge(hitter.key(), hitter, (a, b) -> new HeavyHitter(a.key(),
+                        a.count() + b.count(), a.error() + b.error()));
+            }
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingLong(HeavyHitter::count).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.app.service;
+
+import com.example.app.model.KeyStatus;
+import com.example.app.topology.PauseConfig;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a short-lived local view of key status so the controller only produces
+ * to the status topic on real state changes, and coalesces repeated resume
+ * triggers for the same key.
+ *
+ * The GlobalKTable lags behind our own writes by a few hundred ms, so every
+ * status we send is recorded here immediately (write-through) and served from
+ * the cache until the TTL expires, by which point the store has caught up. A
+ * cache hit is still checked against the store so a newer write from another
+ * instance or producer isn't masked.
+ */
+@Service
+public class StatusTransitionService {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    @Autowired
+    private StoreQueryService storeQueryService;
+
+    @Value("${app.control.status-cache-ttl-ms:2000}")
+    private long statusCacheTtlMs;
+
+    @Value("${app.control.resume-coalesce-window-ms:2000}")
+    private long resumeCoalesceWindowMs;
+
+    private final Map<String, CachedStatus> statusCache = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastResumeTrigger = new ConcurrentHashMap<>();
+
+    private record CachedStatus(KeyStatus status, long writtenAt, long expiresAt) {
+    }
+
+    /**
+     * Atomically checks the current status of {@code key} and, if it differs
+     * from {@code target}, records {@code target} as the new local view.
+     *
+     * @return true if the caller should produce the status change, false if the
+     *         key is already in the requested state
+     */
+    public boolean beginTransition(PauseConfig config, String key, KeyStatus target) {
+        long now = System.currentTimeMillis();
+        // Read the store up front so the map bin lock is only held for the compare-and-set
+        Optional<ValueAndTimestamp<KeyStatus>> stored = storeQueryService.findStatusRecord(config.statusStoreName(),
+                key);
+        boolean[] changed = new boolean[1];
+        statusCache.compute(cacheKey(config, key), (k, cached) -> {
+            KeyStatus current = cached != null && cached.expiresAt() > now
+                    ? cachedOrNewer(cached, stored)
+                    : stored.map(ValueAndTimestamp::value).orElse(null);
+            // Unknown status (store not ready) always counts as a change
+            changed[0] = current != target;
+            return new CachedStatus(target, now, now + statusCacheTtlMs);
+        });
+        evictExpired(now);
+        return changed[0];
+    }
+
+    /**
+     * Our cached write wins unless the store already holds a newer record with a
+     * different status, i.e. another instance or producer changed the key since.
+     */
+    private static KeyStatus cachedOrNewer(CachedStatus cached, Optional<ValueAndTimestamp<KeyStatus>> stored) {
+        return stored
+                .filter(record -> record.timestamp() > cached.writtenAt() && record.value() != cached.status())
+                .map(ValueAndTimestamp::value)
+                .orElse(cached.status());
+    }
+
+    /**
+     * Drops the cached view for a key, e.g. after a failed send.
+     */
+    public void invalidate(PauseConfig config, String key) {
+        statusCache.remove(cacheKey(config, key));
+    }
+
+    /**
+     * Decides whether a resume command needs to be produced.
+     *
+     * A status transition always triggers a drain, since events may have been
+     * buffered while paused. For a key that was already active we skip the
+     * trigger when its buffer is known to be empty, or when another trigger was
+     * sent within the coalescing window and is presumably still draining.
+     */
+    public boolean shouldTriggerResume(PauseConfig config, String key, boolean transitioned) {
+        long now = System.currentTimeMillis();
+        String cacheKey = cacheKey(config, key);
+        if (!transitioned && storeQueryService.hasNoBufferedEvents(config.bufferStoreName(), key)) {
+            return false;
+        }
+        boolean[] trigger = new boolean[1];
+        lastResumeTrigger.compute(cacheKey, (k, sentAt) -> {
+            trigger[0] = transitioned || sentAt == null || now - sentAt >= resumeCoalesceWindowMs;
+            return trigger[0] ? now : sentAt;
+        });
+        return trigger[0];
+    }
+
+    private void evictExpired(long now) {
+        if (statusCache.size() > CLEANUP_THRESHOLD) {
+            statusCache.values().removeIf(cached -> cached.expiresAt() <= now);
+        }
+        if (lastResumeTrigger.size() > CLEANUP_THRESHOLD) {
+            lastResumeTrigger.values().removeIf(sentAt -> now - sentAt >= resumeCoalesceWindowMs);
+        }
+    }
+
+    private static String cacheKey(PauseConfig config, String key) {
+        return config.topicId() + ":" + key;
+    }
+}
@@ -2,17 +2,26 @@ package com.example.app.service;
 
 import com.example.app.model.Event;
 import com.example.app.model.KeyStatus;
+import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
 import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.config.StreamsBuilderFactoryBean;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class StoreQueryService {
@@ -37,29 +46,142 @@ public class StoreQueryService {
         }
     }
 
-    public KeyStatus getKeyStatus(String statusStoreName, String key) {
+    /**
+     * Returns true only when the buffer partition owning {@code key} is hosted
+     * (active) on this instance and holds nothing for the key. If the partition
+     * lives elsewhere or the store is not queryable yet, we can't tell and return
+     * false so callers fall back to the safe path.
+     */
+    public boolean hasNoBufferedEvents(String storeName, String key) {
+        KafkaStreams streams = factoryBean.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING) {
+            return false;
+        }
+
+        try {
+            KeyQueryMetadata metadata = streams.queryMetadataForKey(storeName, key, Serdes.String().serializer());
+            if (metadata == null || metadata.partition() < 0) {
+                return false;
+            }
+            // Pinning the partition makes store() throw if it isn't hosted locally
+            ReadOnlyKeyValueStore<String, List<Event>> store = streams.store(
+                    StoreQueryParameters.fromNameAndType(storeName, QueryableStoreTypes.<String, List<Event>>keyValueStore())
+                            .withPartition(metadata.partition()));
+            List<Event> events = store.get(key);
+            return events == null || events.isEmpty();
+        } catch (InvalidStateStoreException e) {
+            return false;
+        } catch (Exception e) {
+            System.err.println("Error querying buffer store: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Number of buffered events per key across all local partitions of a buffer
+     * store. Scans the whole store, so callers should cache the result.
+     */
+    public Map<String, Integer> getBufferDepths(String storeName) {
+        KafkaStreams streams = factoryBean.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Integer> depths = new HashMap<>();
+        try {
+            ReadOnlyKeyValueStore<String, List<Event>> store = streams.store(
+                    StoreQueryParameters.fromNameAndType(storeName, QueryableStoreTypes.keyValueStore()));
+            try (KeyValueIterator<String, List<Event>> it = store.all()) {
+                while (it.hasNext()) {
+                    KeyValue<String, List<Event>> entry = it.next();
+                    if (entry.value != null && !entry.value.isEmpty()) {
+                        depths.put(entry.key, entry.value.size());
+                    }
+                }
+            }
+        } catch (InvalidStateStoreException e) {
+            return Collections.emptyMap();
+        } catch (Exception e) {
+            System.err.println("Error scanning buffer store: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+        return depths;
+    }
+
+    /**
+     * All keys currently PAUSED in a flow's status GlobalKTable. Scans the whole
+     * store, so callers should cache the result.
+     */
+    public List<String> getPausedKeys(String statusStoreName) {
         KafkaStreams streams = factoryBean.getKafkaStreams();
         if (streams == null) {
-            return KeyStatus.ACTIVE; // Default
+            return Collections.emptyList();
         }
 
+        List<String> paused = new ArrayList<>();
         try {
-            // GlobalKTable store name
             ReadOnlyKeyValueStore<String, Object> store = streams.store(
                     StoreQueryParameters.fromNameAndType(statusStoreName, QueryableStoreTypes.keyValueStore()));
+            try (KeyValueIterator<String, Object> it = store.all()) {
+                while (it.hasNext()) {
+                    KeyValue<String, Object> entry = it.next();
+                    Object value = entry.value;
+                    if (value instanceof org.apache.kafka.streams.state.ValueAndTimestamp) {
+                        value = ((org.apache.kafka.streams.state.ValueAndTimestamp<?>) value).value();
+                    }
+                    if (value == KeyStatus.PAUSED) {
+                        paused.add(entry.key);
+                    }
+                }
+            }
+        } catch (InvalidStateStoreException e) {
+            return Collections.emptyList();
+        } catch (Exception e) {
+            System.err.println("Error scanning status store: " + e.getMessage());
+            return Collections.emptyList();
+        }
+        return paused;
+    }
 
-            Object value = store.get(key);
-            if (value instanceof org.apache.kafka.streams.state.ValueAndTimestamp) {
-                return ((org.apache.kafka.streams.state.ValueAndTimestamp<KeyStatus>) value).value();
-            } else if (value instanceof KeyStatus) {
-                return (KeyStatus) value;
+    public KeyStatus getKeyStatus(String statusStoreName, String key) {
+        return findKeyStatus(statusStoreName, key).orElse(KeyStatus.ACTIVE);
+    }
+
+    /**
+     * Returns the status record for a key with its record timestamp, read through
+     * the timestamped view of the GlobalKTable store. A key without a record
+     * resolves to ACTIVE with timestamp -1; empty means the store can't be read.
+     */
+    public Optional<ValueAndTimestamp<KeyStatus>> findStatusRecord(String statusStoreName, String key) {
+        KafkaStreams streams = factoryBean.getKafkaStreams();
+        if (streams == null) {
+            return Optional.empty();
+        }
+
+        try {
+            // The plain keyValueStore() facade strips timestamps, so ask for the timestamped view
+            ReadOnlyKeyValueStore<String, ValueAndTimestamp<KeyStatus>> store = streams.store(
+                    StoreQueryParameters.fromNameAndType(statusStoreName,
+                            QueryableStoreTypes.<String, KeyStatus>timestampedKeyValueStore()));
+
+            ValueAndTimestamp<KeyStatus> record = store.get(key);
+            if (record == null || record.value() == null) {
+                return Optional.of(ValueAndTimestamp.make(KeyStatus.ACTIVE, -1));
             }
-            return KeyStatus.ACTIVE;
+            return Optional.of(record);
         } catch (InvalidStateStoreException e) {
-            return KeyStatus.ACTIVE;
+            return Optional.empty();
         } catch (Exception e) {
             System.err.println("Error querying status store: " + e.getMessage());
-            return KeyStatus.ACTIVE;
+            return Optional.empty();
         }
     }
+
+    /**
+     * Like {@link #getKeyStatus}, but returns empty when the status store can't be
+     * read instead of assuming ACTIVE. A missing key still resolves to ACTIVE.
+     */
+    public Optional<KeyStatus> findKeyStatus(String statusStoreName, String key) {
+        return findStatusRecord(statusStoreName, key).map(ValueAndTimestamp::value);
+    }
 }
@@ -1,12 +1,32 @@
 package com.example.app.topology;
 
+import com.example.app.model.BufferPolicy;
+
 public record PauseConfig(
                 String topicId,
                 String mainTopic,
                 String statusTopic,
                 String triggerTopic,
                 String outputTopic,
-                String bufferStoreName) {
+                String bufferStoreName,
+                BufferPolicy bufferPolicy,
+                Integer bufferMaxEvents) {
+
+        public static final int DEFAULT_BUFFER_MAX_EVENTS = 100;
+
+        public PauseConfig {
+                // Both settings are optional in application.yml; default to keeping everything
+                if (bufferPolicy == null) {
+                        bufferPolicy = BufferPolicy.KEEP_ALL;
+                }
+                if (bufferMaxEvents == null) {
+                        bufferMaxEvents = DEFAULT_BUFFER_MAX_EVENTS;
+                } else if (bufferMaxEvents < 1) {
+                        throw new IllegalArgumentException(
+                                        "bufferMaxEvents must be positive for flow " + topicId + ": " + bufferMaxEvents);
+                }
+        }
+
         public String statusStoreName() {
                 return topicId + "-status-store";
         }
@@ -1,7 +1,9 @@
 package com.example.app.topology;
 
+import com.example.app.processor.DrainMetrics;
 import com.example.app.processor.PauseAwareProcessor;
 import com.example.app.processor.ResumeTriggerProcessor;
+import com.example.app.service.HotKeyService;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.kstream.Consumed;
@@ -16,6 +18,12 @@ public class PauseTopologyBuilder {
         @Autowired
         private SerdeProvider serdes;
 
+        @Autowired
+        private HotKeyService hotKeyService;
+
+        @Autowired
+        private DrainMetrics drainMetrics;
+
         public void build(StreamsBuilder builder, PauseConfig config) {
 
                 // 1. Define State Store for buffering paused events
@@ -31,7 +39,12 @@ public class PauseTopologyBuilder {
                 builder.stream(config.mainTopic(), Consumed.with(Serdes.String(), serdes.eventSerde()))
                                 .process(
                                                 () -> new PauseAwareProcessor(config.bufferStoreName(),
-                                                                config.statusStoreName()),
+                                                                config.statusStoreName(),
+                                                                config.bufferPolicy(),
+                                                                config.bufferMaxEvents(),
+                                                                config.topicId(),
+                                                                hotKeyService,
+                                                                drainMetrics),
                                                 config.bufferStoreName()) // Connect to buffer store (GlobalKTable is
                                                                           // globally accessible)
                                 .to(config.outputTopic(), Produced.with(Serdes.String(), serdes.eventSerde()));
@@ -39,7 +52,10 @@ public class PauseTopologyBuilder {
                 // 3. Resume Trigger Topology
                 builder.stream(config.triggerTopic(), Consumed.with(Serdes.String(), serdes.resumeCommandSerde()))
                                 .process(
-                                                () -> new ResumeTriggerProcessor(config.bufferStoreName()),
+                                                () -> new ResumeTriggerProcessor(config.bufferStoreName(),
+                                                                config.topicId(),
+                                                                hotKeyService,
+                                                                drainMetrics),
                                                 config.bufferStoreName())
                                 .to(config.outputTopic(), Produced.with(Serdes.String(), serdes.eventSerde()));
         }
@@ -0,0 +1,271 @@
+package com.example.app.topology;
+
+import com.example.app.processor.DrainMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.streams.KafkaStreams;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Adds and removes stream threads at runtime based on consumer lag, process
+ * latency and drain rate (events replayed from buffers per second), so a single
+ * instance can absorb bursts and mass resumes without over-provisioning
+ * {@code num.stream.threads}.
+ *
+ * Lag is only read from the stream threads' main consumers: the global-table
+ * and restore consumers don't get faster with more threads. Buffered events of
+ * keys that are still paused are deliberately not a signal, since nothing can
+ * process them until resume.
+ *
+ * Disabled unless {@code app.scaling.enabled} is true. When enabled, the
+ * thresholds are validated at startup so a misconfigured range fails fast
+ * instead of making the scaler flap or never act.
+ *
+ * Hysteresis: a scale-up needs {@code up-after} consecutive checks above any
+ * high watermark, a scale-down needs {@code down-after} consecutive checks with
+ * every signal below its low watermark, and no change is made within
+ * {@code cooldown-ms} of the previous one.
+ *
+ * Removing a thread waits for it to shut down (up to {@code remove-timeout-ms}),
+ * so it runs on a dedicated executor rather than the shared scheduling thread;
+ * checks keep sampling but make no decision while a removal is in flight.
+ */
+@Component
+public class StreamThreadScaler {
+
+    private static final String CONSUMER_METRICS_GROUP = "consumer-fetch-manager-metrics";
+    private static final String THREAD_METRICS_GROUP = "stream-thread-metrics";
+    // <client.id>-StreamThread-<n>-consumer; excludes -restore-consumer and -global-consumer
+    private static final Pattern MAIN_CONSUMER_CLIENT_ID = Pattern.compile(".*-StreamThread-\\d+-consumer");
+
+    @Autowired
+    private StreamsBuilderFactoryBean factoryBean;
+
+    @Autowired
+    private DrainMetrics drainMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.scaling.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.scaling.min-threads:1}")
+    private int minThreads;
+
+    @Value("${app.scaling.max-threads:4}")
+    private int maxThreads;
+
+    @Value("${app.scaling.lag-high:1000}")
+    private double lagHigh;
+
+    @Value("${app.scaling.lag-low:100}")
+    private double lagLow;
+
+    @Value("${app.scaling.latency-high-ms:50}")
+    private double latencyHighMs;
+
+    @Value("${app.scaling.latency-low-ms:10}")
+    private double latencyLowMs;
+
+    @Value("${app.scaling.drain-rate-high:500}")
+    private double drainRateHigh;
+
+    @Value("${app.scaling.drain-rate-low:10}")
+    private double drainRateLow;
+
+    @Value("${app.scaling.up-after:2}")
+    private int upAfter;
+
+    @Value("${app.scaling.down-after:6}")
+    private int downAfter;
+
+    @Value("${app.scaling.cooldown-ms:30000}")
+    private long cooldownMs;
+
+    @Value("${app.scaling.remove-timeout-ms:10000}")
+    private long removeTimeoutMs;
+
+    private int highStreak;
+    private int lowStreak;
+    private long lastChangeAt;
+    private long lastDrainTotal = -1;
+    private long lastSampleAt;
+
+    private volatile double lastLag;
+    private volatile double lastLatencyMs;
+    private volatile double lastDrainRate;
+    private volatile int lastThreads;
+    private volatile StreamThreadScalingEvent lastEvent;
+    private final AtomicLong scaleUps = new AtomicLong();
+    private final AtomicLong scaleDowns = new AtomicLong();
+
+    private final ExecutorService remover = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "stream-thread-remover");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean removing = new AtomicBoolean();
+
+    @PostConstruct
+    void validate() {
+        if (!enabled) {
+            return;
+        }
+        require(minThreads >= 1, "app.scaling.min-threads must be >= 1: " + minThreads);
+        require(minThreads <= maxThreads,
+                "app.scaling.min-threads (" + minThreads + ") must be <= max-threads (" + maxThreads + ")");
+        require(lagLow < lagHigh, "app.scaling.lag-low (" + lagLow + ") must be < lag-high (" + lagHigh + ")");
+        require(latencyLowMs < latencyHighMs, "app.scaling.latency-low-ms (" + latencyLowMs
+                + ") must be < latency-high-ms (" + latencyHighMs + ")");
+        require(drainRateLow < drainRateHigh, "app.scaling.drain-rate-low (" + drainRateLow
+                + ") must be < drain-rate-high (" + drainRateHigh + ")");
+        require(upAfter >= 1 && downAfter >= 1, "app.scaling.up-after and down-after must be >= 1");
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scaling.interval-ms:10000}")
+    public synchronized void evaluate() {
+        if (!enabled) {
+            return;
+        }
+        KafkaStreams streams = factoryBean.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING) {
+            // Don't count checks during startup or rebalances
+            highStreak = 0;
+            lowStreak = 0;
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        double lag = maxMetric(streams, CONSUMER_METRICS_GROUP, "records-lag-max", true);
+        double latencyMs = maxMetric(streams, THREAD_METRICS_GROUP, "process-latency-avg", false);
+        double drainRate = drainRate(now);
+        int threads = streams.metadataForLocalThreads().size();
+
+        lastLag = lag;
+        lastLatencyMs = latencyMs;
+        lastDrainRate = drainRate;
+        lastThreads = threads;
+
+        boolean high = lag > lagHigh || latencyMs > latencyHighMs || drainRate > drainRateHigh;
+        boolean low = lag < lagLow && latencyMs < latencyLowMs && drainRate < drainRateLow;
+        highStreak = high ? highStreak + 1 : 0;
+        lowStreak = low ? lowStreak + 1 : 0;
+
+        if (now - lastChangeAt < cooldownMs || removing.get()) {
+            return;
+        }
+
+        if (highStreak >= upAfter && threads < maxThreads) {
+            Optional<String> added = streams.addStreamThread();
+            added.ifPresent(name -> {
+                scaleUps.incrementAndGet();
+                publish("ADD", name, threads, threads + 1, now);
+            });
+        } else if (lowStreak >= downAfter && threads > minThreads && removing.compareAndSet(false, true)) {
+            remover.execute(() -> {
+                try {
+                    Optional<String> removed = streams.removeStreamThread(Duration.ofMillis(removeTimeoutMs));
+                    removed.ifPresent(name -> {
+                        scaleDowns.incrementAndGet();
+                        publish("REMOVE", name, threads, threads - 1, System.currentTimeMillis());
+                    });
+                } catch (Exception e) {
+                    System.err.println("[SCALER] Failed to remove stream thread: " + e.getMessage());
+                } finally {
+                    removing.set(false);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("minThreads", minThreads);
+        status.put("maxThreads", maxThreads);
+        status.put("threads", lastThreads);
+        status.put("consumerLag", lastLag);
+        status.put("processLatencyMs", lastLatencyMs);
+        status.put("drainRatePerSec", lastDrainRate);
+        status.put("scaleUps", scaleUps.get());
+        status.put("scaleDowns", scaleDowns.get());
+        status.put("lastDecision", lastEvent);
+        return status;
+    }
+
+    private synchronized void publish(String action, String threadName, int before, int after, long now) {
+        StreamThreadScalingEvent event = new StreamThreadScalingEvent(action, threadName, before, after,
+                lastLag, lastLatencyMs, lastDrainRate, now);
+        System.out.println("[SCALER] " + action + " " + threadName + ", Threads=" + before + "->" + after
+                + ", Lag=" + lastLag + ", LatencyMs=" + lastLatencyMs + ", DrainRate=" + lastDrainRate);
+        lastChangeAt = now;
+        lastThreads = after;
+        highStreak = 0;
+        lowStreak = 0;
+        lastEvent = event;
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Events drained from buffers per second since the previous check.
+     */
+    private double drainRate(long now) {
+        long total = drainMetrics.totalDrained();
+        double rate = lastDrainTotal >= 0 && now > lastSampleAt
+                ? (total - lastDrainTotal) * 1000.0 / (now - lastSampleAt)
+                : 0.0;
+        lastDrainTotal = total;
+        lastSampleAt = now;
+        return rate;
+    }
+
+    private static double maxMetric(KafkaStreams streams, String group, String name, boolean mainConsumersOnly) {
+        double max = 0;
+        for (Map.Entry<MetricName, ? extends Metric> entry : streams.metrics().entrySet()) {
+            MetricName metricName = entry.getKey();
+            if (!metricName.group().equals(group) || !metricName.name().equals(name)) {
+                continue;
+            }
+            if (mainConsumersOnly) {
+                String clientId = metricName.tags().get("client-id");
+                if (clientId == null || !MAIN_CONSUMER_CLIENT_ID.matcher(clientId).matches()) {
+                    continue;
+                }
+            }
+            // Lag and latency metrics report NaN until the first sample
+            if (entry.getValue().metricValue() instanceof Number value && Double.isFinite(value.doubleValue())) {
+                max = Math.max(max, value.doubleValue());
+            }
+        }
+        return max;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        remover.shutdownNow();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.app.topology;
+
+/**
+ * Published by {@link StreamThreadScaler} whenever it adds or removes a stream
+ * thread, with the signals that led to the decision.
+ */
+public record StreamThreadScalingEvent(
+        String action,
+        String threadName,
+        int threadsBefore,
+        int threadsAfter,
+        double consumerLag,
+        double processLatencyMs,
+        double drainRatePerSec,
+        long timestamp) {
+}
@@ -0,0 +1,82 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BufferPolicyTest {
+
+    private static Event event(String id, String data) {
+        return new Event(id, data, 0L);
+    }
+
+    private static List<Event> offerAll(BufferPolicy policy, int maxEvents, Event... events) {
+        List<Event> buffered = null;
+        for (Event e : events) {
+            buffered = policy.apply(buffered, e, maxEvents);
+        }
+        return buffered;
+    }
+
+    @Test
+    void keepAllAppendsEveryEvent() {
+        List<Event> buffered = offerAll(BufferPolicy.KEEP_ALL, 1,
+                event("1", "a"), event("2", "b"), event("1", "c"));
+
+        assertThat(buffered).extracting(Event::data).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void latestOnlyKeepsLastEvent() {
+        List<Event> buffered = offerAll(BufferPolicy.LATEST_ONLY, 100,
+                event("1", "a"), event("2", "b"), event("3", "c"));
+
+        assertThat(buffered).extracting(Event::data).containsExactly("c");
+    }
+
+    @Test
+    void lastNTrimsOldestEvents() {
+        List<Event> buffered = offerAll(BufferPolicy.LAST_N, 2,
+                event("1", "a"), event("2", "b"), event("3", "c"), event("4", "d"));
+
+        assertThat(buffered).extracting(Event::data).containsExactly("c", "d");
+    }
+
+    @Test
+    void lastNKeepsEverythingBelowLimit() {
+        List<Event> buffered = offerAll(BufferPolicy.LAST_N, 5,
+                event("1", "a"), event("2", "b"));
+
+        assertThat(buffered).extracting(Event::data).containsExactly("a", "b");
+    }
+
+    @Test
+    void mergeByIdMovesReplacedEventToEnd() {
+        List<Event> buffered = offerAll(BufferPolicy.MERGE_BY_ID, 100,
+                event("1", "a"), event("2", "b"), event("1", "c"));
+
+        // Replay must follow arrival order: "b" arrived before the newer "c"
+        assertThat(buffered).extracting(Event::id).containsExactly("2", "1");
+        assertThat(buffered).extracting(Event::data).containsExactly("b", "c");
+    }
+
+    @Test
+    void mergeByIdAppendsEventsWithoutId() {
+        List<Event> buffered = offerAll(BufferPolicy.MERGE_BY_ID, 100,
+                event(null, "a"), event(null, "b"));
+
+        assertThat(buffered).extracting(Event::data).containsExactly("a", "b");
+    }
+
+    @Test
+    void applyReusesExistingList() {
+        List<Event> existing = new ArrayList<>(List.of(event("1", "a")));
+
+        List<Event> buffered = BufferPolicy.KEEP_ALL.apply(existing, event("2", "b"), 100);
+
+        assertThat(buffered).isSameAs(existing).hasSize(2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.app.processor;
+
+import com.example.app.model.HeavyHitter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeavyHitterSketchTest {
+
+    private static void offer(HeavyHitterSketch sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.offer(key);
+        }
+    }
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(4);
+        offer(sketch, "a", 3);
+        offer(sketch, "b", 5);
+        offer(sketch, "c", 1);
+
+        assertThat(sketch.snapshot()).containsExactly(
+                new HeavyHitter("b", 5, 0),
+                new HeavyHitter("a", 3, 0),
+                new HeavyHitter("c", 1, 0));
+        assertThat(sketch.total()).isEqualTo(9);
+    }
+
+    @Test
+    void evictsSmallestCounterAndInheritsItAsError() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(2);
+        offer(sketch, "a", 5);
+        offer(sketch, "b", 2);
+        sketch.offer("c");
+
+        // "b" had the smallest count (2), so "c" takes its slot with count 3 and error 2
+        assertThat(sketch.snapshot()).containsExactly(
+                new HeavyHitter("a", 5, 0),
+                new HeavyHitter("c", 3, 2));
+    }
+
+    @Test
+    void errorBoundsTrueFrequency() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(3);
+        String[] stream = { "a", "b", "c", "d", "a", "e", "a", "f", "a", "b", "g", "a" };
+        for (String key : stream) {
+            sketch.offer(key);
+        }
+
+        for (HeavyHitter hitter : sketch.snapshot()) {
+            long actual = Arrays.stream(stream).filter(hitter.key()::equals).count();
+            assertThat(hitter.count()).isGreaterThanOrEqualTo(actual);
+            assertThat(hitter.count() - hitter.error()).isLessThanOrEqualTo(actual);
+        }
+    }
+
+    @Test
+    void keepsKeysAboveTotalOverCapacity() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.offer("hot");
+            sketch.offer("cold-" + i);
+        }
+
+        List<HeavyHitter> snapshot = sketch.snapshot();
+        assertThat(snapshot.get(0).key()).isEqualTo("hot");
+        assertThat(snapshot.get(0).count()).isGreaterThanOrEqualTo(1000);
+        assertThat(sketch.total()).isEqualTo(2000);
+    }
+
+    @Test
+    void nullKeysCountTowardsTotalOnly() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(2);
+        sketch.offer(null);
+        sketch.offer("a");
+
+        assertThat(sketch.total()).isEqualTo(2);
+        assertThat(sketch.snapshot()).containsExactly(new HeavyHitter("a", 1, 0));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new HeavyHitterSketch(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
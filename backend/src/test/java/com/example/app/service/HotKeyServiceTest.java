@@ -0,0 +1,56 @@
+package com.example.app.service;
+
+import com.example.app.model.HeavyHitter;
+import com.example.app.processor.HeavyHitterSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyServiceTest {
+
+    private static HeavyHitterSketch sketch(String... keys) {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(8);
+        for (String key : keys) {
+            sketch.offer(key);
+        }
+        return sketch;
+    }
+
+    @Test
+    void mergeSumsCountsAcrossTasksAndSortsDescending() {
+        HeavyHitterSketch task0 = sketch("a", "a", "b");
+        HeavyHitterSketch task1 = sketch("c", "c", "c", "c", "a");
+
+        List<HeavyHitter> merged = HotKeyService.merge(List.of(task0, task1), 10);
+
+        assertThat(merged).containsExactly(
+                new HeavyHitter("c", 4, 0),
+                new HeavyHitter("a", 3, 0),
+                new HeavyHitter("b", 1, 0));
+    }
+
+    @Test
+    void mergeAddsErrorBounds() {
+        HeavyHitterSketch task0 = new HeavyHitterSketch(1);
+        task0.offer("x");
+        task0.offer("y"); // evicts "x": y=2, error=1
+        HeavyHitterSketch task1 = new HeavyHitterSketch(1);
+        task1.offer("z");
+        task1.offer("y"); // evicts "z": y=2, error=1
+
+        assertThat(HotKeyService.merge(List.of(task0, task1), 10))
+                .containsExactly(new HeavyHitter("y", 4, 2));
+    }
+
+    @Test
+    void mergeHonoursLimit() {
+        HeavyHitterSketch task = sketch("a", "a", "a", "b", "b", "c");
+
+        assertThat(HotKeyService.merge(List.of(task), 2))
+                .extracting(HeavyHitter::key)
+                .containsExactly("a", "b");
+        assertThat(HotKeyService.merge(List.of(task), -1)).isEmpty();
+    }
+}
@@ -1,7 +1,7 @@
 import { Component, OnInit, OnDestroy } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import { KafkaService } from './kafka.service';
+import { FlowSnapshot, KafkaService } from './kafka.service';
 
 interface LogEntry {
   timestamp: Date;
@@ -63,35 +63,50 @@ export class AppComponent implements OnInit, OnDestroy {
   refreshDashboard() {
     this.isLoading = true;
 
-    // 1. Fetch Input Messages
-    this.kafkaService.getInputMessages(this.selectedTopicId, 20).subscribe({
-      next: (msgs) => this.inputMessages = msgs,
-      error: (err) => this.addLog(`Error fetching inputs: ${err.message}`, 'error')
+    // One call for every flow; status and buffer depth come from the snapshot too
+    this.kafkaService.getDashboard().subscribe({
+      next: (snapshot) => {
+        const flow = snapshot.flows[this.selectedTopicId];
+        this.inputMessages = flow ? flow.inputMessages : [];
+        this.outputMessages = flow ? flow.outputMessages : [];
+        this.updateKeyView(flow);
+        this.isLoading = false;
+      },
+      error: (err) => {
+        this.addLog(`Error fetching dashboard: ${err.message}`, 'error');
+        this.isLoading = false;
+      }
     });
+  }
 
-    // 2. Fetch Output Messages
-    this.kafkaService.getOutputMessages(this.selectedTopicId, 20).subscribe({
-      next: (msgs) => this.outputMessages = msgs,
-      error: (err) => this.addLog(`Error fetching outputs: ${err.message}`, 'error')
-    });
+  private updateKeyView(flow?: FlowSnapshot) {
+    if (!this.controlKey || !flow) {
+      this.keyStatus = 'UNKNOWN';
+      this.bufferedEvents = [];
+      return;
+    }
 
-    // 3. Fetch Key Specific Data (Status & Buffer) if key is entered
-    if (this.controlKey) {
+    // Paused key and buffer depth lists are capped server-side; fall back to per-key calls past the cap
+    if (flow.pausedKeys.includes(this.controlKey)) {
+      this.keyStatus = 'PAUSED';
+    } else if (flow.pausedKeyCount > flow.pausedKeys.length) {
       this.kafkaService.getKeyStatus(this.selectedTopicId, this.controlKey).subscribe({
         next: (res) => this.keyStatus = res.status,
         error: () => this.keyStatus = 'UNKNOWN'
       });
+    } else {
+      this.keyStatus = 'ACTIVE';
+    }
 
+    const depthsTruncated = flow.bufferedKeyCount > Object.keys(flow.bufferDepths).length;
+    if (flow.bufferDepths[this.controlKey] > 0 || depthsTruncated) {
       this.kafkaService.getBufferedEvents(this.selectedTopicId, this.controlKey).subscribe({
         next: (events) => this.bufferedEvents = events,
         error: () => this.bufferedEvents = []
       });
     } else {
-      this.keyStatus = 'UNKNOWN';
       this.bufferedEvents = [];
     }
-
-    this.isLoading = false;
   }
 
   toggleAutoRefresh() {
@@ -2,6 +2,22 @@ import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
+export interface FlowSnapshot {
+  inputMessages: any[];
+  outputMessages: any[];
+  pausedKeyCount: number;
+  pausedKeys: string[];
+  bufferedKeyCount: number;
+  bufferedEventCount: number;
+  bufferDepths: {[key: string]: number};
+  throughput: {processedPerSec: number, bufferedPerSec: number};
+}
+
+export interface DashboardSnapshot {
+  generatedAt: number;
+  flows: {[topicId: string]: FlowSnapshot};
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -25,6 +41,11 @@ export class KafkaService {
     return this.http.post<{message: string, eventId: string}>(`${this.apiUrl}/${topicId}/send`, {}, { params });
   }
 
+  // Single shared snapshot of all flows; the browser revalidates it via ETag
+  getDashboard(): Observable<DashboardSnapshot> {
+    return this.http.get<DashboardSnapshot>(`${this.apiUrl}/dashboard`);
+  }
+
   getOutputMessages(topicId: string, limit: number = 50): Observable<any[]> {
     const params = new HttpParams().set('limit', limit.toString());
     return this.http.get<any[]>(`${this.apiUrl}/${topicId}/output-messages`, { params });